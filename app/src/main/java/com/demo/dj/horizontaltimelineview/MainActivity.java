@@ -4,6 +4,8 @@ import android.support.v7.app.AppCompatActivity;
 import android.os.Bundle;
 import android.widget.TextView;
 
+import com.demo.dj.horizontaltimelineview.widget.HorizontalTimeLineView;
+
 public class MainActivity extends AppCompatActivity {
 
     @Override
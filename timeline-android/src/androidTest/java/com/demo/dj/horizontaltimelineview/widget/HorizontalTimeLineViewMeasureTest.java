@@ -0,0 +1,50 @@
+package com.demo.dj.horizontaltimelineview.widget;
+
+import android.test.AndroidTestCase;
+import android.view.View;
+
+/**
+ * 通过View.measure检查onMeasure命中缓存时不再计算内容需要的宽高
+ */
+public class HorizontalTimeLineViewMeasureTest extends AndroidTestCase {
+    private HorizontalTimeLineView mView;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mView = new HorizontalTimeLineView(getContext());
+    }
+
+    public void testAlternatingSpecs_calcIntrinsicOnce() throws Exception {
+        int wrap = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.AT_MOST);
+        int exactly = View.MeasureSpec.makeMeasureSpec(720, View.MeasureSpec.EXACTLY);
+        int height = View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.AT_MOST);
+        for (int i = 0; i < 10; i++) {
+            //forceLayout让View.measure每次都调用onMeasure，同父布局requestLayout后的情况
+            mView.forceLayout();
+            mView.measure(wrap, height);
+            mView.forceLayout();
+            mView.measure(exactly, height);
+            assertEquals(720, mView.getMeasuredWidth());
+        }
+
+        assertEquals(1, mView.getMeasurer().getIntrinsicCalcCount());
+        assertEquals(2, mView.getMeasurer().getMeasurePassCount());
+    }
+
+    public void testPaddingChange_recalculatesOnce() throws Exception {
+        int wrap = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.AT_MOST);
+        int height = View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.AT_MOST);
+        mView.measure(wrap, height);
+        int measuredHeight = mView.getMeasuredHeight();
+
+        mView.setPadding(0, 10, 0, 10);
+        for (int i = 0; i < 5; i++) {
+            mView.forceLayout();
+            mView.measure(wrap, height);
+        }
+
+        assertEquals(measuredHeight + 20, mView.getMeasuredHeight());
+        assertEquals(2, mView.getMeasurer().getIntrinsicCalcCount());
+    }
+}
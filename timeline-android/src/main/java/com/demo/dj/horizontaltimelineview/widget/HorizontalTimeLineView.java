@@ -0,0 +1,1172 @@
+package com.demo.dj.horizontaltimelineview.widget;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.RectF;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.AttributeSet;
+import android.util.Log;
+import android.util.TypedValue;
+import android.view.HapticFeedbackConstants;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.animation.Animation;
+import android.view.animation.Interpolator;
+import android.view.animation.Transformation;
+
+import com.demo.dj.horizontaltimelineview.core.FlingPhysics;
+import com.demo.dj.horizontaltimelineview.core.SlotScroller;
+import com.demo.dj.horizontaltimelineview.core.TimeSlots;
+import com.demo.dj.horizontaltimelineview.core.TouchPredictor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * @author DragonJiang
+ * @Date 2015/1/7
+ * @Time 18:24
+ * @description
+ */
+public class HorizontalTimeLineView extends View {
+    /**
+     * 颜色
+     */
+    static final int YELLOW = R.color.timeline_accent;
+    static final int GRAY = R.color.timeline_gray;
+    static final int GRAY_TEXT = R.color.timeline_gray_text;
+    static final int WHITE = R.color.timeline_white;
+
+    /**
+     * 节点半径
+     */
+    static final int SELECTED_NODE_RADIUS = 9;
+    static final int HOUR_NODE_RADIUS = 7;
+    static final int HALF_HOUR_NODE_RADIUS = 2;
+
+    /**
+     * 时间文字的大小，以及横线下方时间文字与横线的距离（dp）
+     */
+    static final int TEXT_SIZE = 13;
+    static final int TEXT_MARGIN_BOTTOM = 15;
+
+    /**
+     * 节点类型
+     */
+    private static final int TYPE_HOUR = 0;
+    private static final int TYPE_HALF_HOUR = 1;
+    private static final int TYPE_SELECTED = 2;
+
+    /**
+     * 区间选择时正在拖动的手柄
+     */
+    private static final int HANDLE_NONE = 0;
+    private static final int HANDLE_START = 1;
+    private static final int HANDLE_END = 2;
+
+    /**
+     * 滑动最大速度
+     */
+    private static final int MAX_SPEED = 80;
+    /**
+     * 两次震动和点击音之间的最小间隔（毫秒），不影响回调
+     */
+    private static final long MIN_TICK_INTERVAL = 40;
+    /**
+     * 拖动预测的最大距离（dp）
+     */
+    private static final int MAX_PREDICTION = 24;
+    /**
+     * 取不到屏幕刷新率时使用的帧间隔（毫秒）
+     */
+    private static final long DEFAULT_FRAME_INTERVAL = 16;
+    /**
+     * 拖动手柄到屏幕边缘时自动滚动的最大速度（dp/帧）
+     */
+    private static final int AUTO_SCROLL_SPEED = 8;
+    /**
+     * 上下文
+     */
+    private Context mContext;
+    /**
+     * view 的 width，去掉左右padding，节点和点击检测都在这个范围内计算
+     */
+    private int mWidth;
+    /**
+     * view's height，去掉上下padding
+     */
+    private int mHeight;
+
+    /**
+     * 24个时间节点
+     */
+    private List<NodeInfo> mNodes;
+    /**
+     * 选中的时间节点
+     */
+    private NodeInfo mSelectedNode;
+    /**
+     * 选中的节点在mNodes中的下标
+     */
+    private int mSelectedIndex;
+    /**
+     * 节点、时间文字和区间的画法，和TimeLineRenderer共用
+     */
+    private TimeLinePainter mPainter;
+    /**
+     * 测量结果缓存
+     */
+    private TimeLineMeasurer mMeasurer;
+    /**
+     * 节点间的距离、滑动偏移，以及由x坐标算出节点下标
+     */
+    private SlotScroller mScroller;
+    /**
+     * 初始化时选中节点的时间，不取模的节点序号以它为0
+     */
+    private long mSelectedHour;
+    /**
+     * 已选择的时间（转换成毫秒）
+     */
+    private long mSelectedTimeMillis;
+    /**
+     * 是否设置默认的时间
+     */
+    private boolean mSetDefaultHour;
+    /**
+     * 是否需要初始化
+     */
+    private boolean mShouldInit;
+    /**
+     * 每次点击的x坐标
+     */
+    private float mDownX;
+    /**
+     * actionmove滑动的距离
+     */
+    private float mMoveDist;
+    /**
+     * 速度追踪
+     */
+    private VelocityTracker mVelocityTracker;
+    /**
+     * 滑动的动画
+     */
+    private Animation mAnimation;
+    /**
+     * 拖动位置预测
+     */
+    private TouchPredictor mTouchPredictor;
+    /**
+     * 当前的预测距离，只在绘制时平移画布，不改变节点的实际位置
+     */
+    private float mPredictedDx;
+    /**
+     * 算出mPredictedDx的移动事件的时间，手指停下后没有新的事件，预测按这个时间逐渐去掉
+     */
+    private long mPredictedTime;
+    /**
+     * 屏幕的帧间隔（毫秒）
+     */
+    private long mFrameInterval = DEFAULT_FRAME_INTERVAL;
+
+    /**
+     * 是否为区间选择模式
+     */
+    private boolean mRangeMode;
+    /**
+     * 区间起止手柄对应的节点序号（不取模），区间可以跨天，开始总是在结束之前
+     */
+    private int mRangeStartSlot;
+    private int mRangeEndSlot;
+    /**
+     * 初始化节点时是否把区间重置到选中的节点，大小改变引起的重新初始化保留原来的区间
+     */
+    private boolean mResetRange;
+    /**
+     * 区间起止手柄
+     */
+    private NodeInfo mRangeStartNode;
+    private NodeInfo mRangeEndNode;
+    /**
+     * 当前拖动的手柄
+     */
+    private int mDraggingHandle = HANDLE_NONE;
+    /**
+     * 画区间用的左右边界，避免在onDraw中创建对象
+     */
+    private float[] mRangeBounds;
+    /**
+     * 拖动手柄到屏幕边缘时自动滚动的最大速度（px/帧）
+     */
+    private float mAutoScrollSpeed;
+
+    /**
+     * 回调接口
+     */
+    private ITimeSetCallback mTimeSetCallback;
+    private IRangeSetCallback mRangeSetCallback;
+    private ISlotTickCallback mSlotTickCallback;
+
+    /**
+     * 最靠近中心的节点改变时是否震动和播放点击音
+     */
+    private boolean mTickFeedbackEnabled;
+    /**
+     * 上一帧之后的刻度数，在onDraw中统一反馈
+     */
+    private int mPendingTicks;
+    /**
+     * 上一次震动和点击音的时间
+     */
+    private long mLastTickTime;
+
+    /**
+     * 时间设置完成的回调
+     */
+    public interface ITimeSetCallback {
+        void onTimeSet(long timeInMillis);
+    }
+
+    /**
+     * 区间设置完成的回调
+     */
+    public interface IRangeSetCallback {
+        void onRangeSet(long startMillis, long endMillis);
+    }
+
+    /**
+     * 刻度回调。滑动时最靠近中心的节点每改变一次算一个刻度，即中心跨过两个节点的中点时，而不是节点正好到达中心时；
+     * 拖动区间手柄时按手柄跨过的节点计数，包括手柄在屏幕边缘自动滚动时。
+     * 同一帧内的多个刻度合并为一次，每个刻度都会计入crossedCount
+     */
+    public interface ISlotTickCallback {
+        void onSlotTick(int crossedCount);
+    }
+
+    public HorizontalTimeLineView(Context context) {
+        super(context);
+        mContext = context;
+        init();
+    }
+
+    public HorizontalTimeLineView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        mContext = context;
+        init();
+    }
+
+    public HorizontalTimeLineView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        mContext = context;
+        init();
+    }
+
+    /**
+     * 初始化
+     */
+    private void init() {
+        mPainter = new TimeLinePainter(getResources());
+
+        mRangeStartNode = new NodeInfo();
+        mRangeEndNode = new NodeInfo();
+        mRangeBounds = new float[2];
+        mAutoScrollSpeed = dp2px(AUTO_SCROLL_SPEED);
+        mMeasurer = new TimeLineMeasurer(new TimeLineMeasurer.IIntrinsicSizeCallback() {
+            @Override
+            public int calcIntrinsicWidth() {
+                return HorizontalTimeLineView.this.calcIntrinsicWidth();
+            }
+
+            @Override
+            public int calcIntrinsicHeight() {
+                return HorizontalTimeLineView.this.calcIntrinsicHeight();
+            }
+        });
+        mScroller = new SlotScroller();
+        mTouchPredictor = new TouchPredictor();
+        mTouchPredictor.setMaxPrediction(dp2px(MAX_PREDICTION));
+
+        mSetDefaultHour = true;
+        mResetRange = true;
+        mShouldInit = true;
+    }
+
+
+    /**
+     * 由外面调用，设置日期，不精确具体几点。
+     *
+     * @param timeMillis
+     */
+    public void setDate(long timeMillis) {
+        mSelectedTimeMillis = timeMillis;
+        mSetDefaultHour = true;
+        mResetRange = true;
+        mShouldInit = true;
+        invalidate();
+    }
+
+    /**
+     * 由外面调用，设置具体时间
+     *
+     * @param timeMillis
+     */
+    public void bindTime(long timeMillis) {
+        mSelectedTimeMillis = timeMillis;
+        mSetDefaultHour = false;
+        mResetRange = true;
+        mShouldInit = true;
+        invalidate();
+    }
+
+    /**
+     * 取设置的时间
+     *
+     * @return
+     */
+    public long getSelectedTime() {
+        if (mSelectedNode != null) {
+            return mSelectedNode.time;
+        }
+
+        return mSelectedTimeMillis;
+    }
+
+    /**
+     * 设置回调
+     *
+     * @param callback
+     */
+    public void setTimeSetCallback(ITimeSetCallback callback) {
+        mTimeSetCallback = callback;
+    }
+
+    /**
+     * 设置区间回调
+     *
+     * @param callback
+     */
+    public void setRangeSetCallback(IRangeSetCallback callback) {
+        mRangeSetCallback = callback;
+    }
+
+    /**
+     * 设置刻度回调
+     *
+     * @param callback
+     */
+    public void setSlotTickCallback(ISlotTickCallback callback) {
+        mSlotTickCallback = callback;
+    }
+
+    /**
+     * 每个刻度是否震动和播放点击音，默认关闭
+     *
+     * @param enabled
+     */
+    public void setTickFeedbackEnabled(boolean enabled) {
+        mTickFeedbackEnabled = enabled;
+    }
+
+    public boolean isTickFeedbackEnabled() {
+        return mTickFeedbackEnabled;
+    }
+
+    /**
+     * 拖动时是否把位置预测到下一次vsync，默认关闭
+     *
+     * @param enabled
+     */
+    public void setTouchPredictionEnabled(boolean enabled) {
+        mTouchPredictor.setEnabled(enabled);
+    }
+
+    public boolean isTouchPredictionEnabled() {
+        return mTouchPredictor.isEnabled();
+    }
+
+    /**
+     * 设置拖动预测的最大距离
+     *
+     * @param px
+     */
+    public void setMaxPrediction(float px) {
+        mTouchPredictor.setMaxPrediction(px);
+    }
+
+    /**
+     * 拖动预测已统计误差的次数
+     *
+     * @return
+     */
+    public int getPredictionSampleCount() {
+        return mTouchPredictor.getSampleCount();
+    }
+
+    /**
+     * 拖动预测的平均误差（px）
+     *
+     * @return
+     */
+    public float getPredictionMeanError() {
+        return mTouchPredictor.getMeanError();
+    }
+
+    /**
+     * 拖动预测的最大误差（px）
+     *
+     * @return
+     */
+    public float getPredictionMaxError() {
+        return mTouchPredictor.getMaxError();
+    }
+
+    /**
+     * 清空拖动预测的误差统计
+     */
+    public void resetPredictionMetrics() {
+        mTouchPredictor.resetMetrics();
+    }
+
+    /**
+     * 切换区间选择模式。开启时起始手柄位于当前选中的节点，结束手柄在其后一个小时。
+     * 拖动手柄到屏幕边缘时时间线会自动滚动，区间可以跨越多天。
+     *
+     * @param rangeMode
+     */
+    public void setRangeMode(boolean rangeMode) {
+        if (mRangeMode == rangeMode) {
+            return;
+        }
+
+        mRangeMode = rangeMode;
+        mDraggingHandle = HANDLE_NONE;
+        if (mRangeMode && mNodes != null) {
+            mRangeStartSlot = mScroller.getUnwrappedSlotByX(mSelectedNode.cx);
+            mRangeEndSlot = mRangeStartSlot + 2;
+            notifyRangeSet();
+        }
+        invalidate();
+    }
+
+    public boolean isRangeMode() {
+        return mRangeMode;
+    }
+
+    /**
+     * 取区间的开始时间
+     *
+     * @return
+     */
+    public long getRangeStartTime() {
+        if (mNodes == null) {
+            return mSelectedTimeMillis;
+        }
+
+        return TimeSlots.getUnwrappedSlotTime(mSelectedHour, mRangeStartSlot);
+    }
+
+    /**
+     * 取区间的结束时间，总是不早于开始时间
+     *
+     * @return
+     */
+    public long getRangeEndTime() {
+        if (mNodes == null) {
+            return getRangeStartTime();
+        }
+
+        return TimeSlots.getUnwrappedSlotTime(mSelectedHour, mRangeEndSlot);
+    }
+
+    /**
+     * 初始化所有节点
+     */
+    private void initNodes() {
+        if (mNodes == null) {
+            mNodes = new ArrayList<>();
+            for (int i = 0; i < TimeSlots.NODE_COUNT; i++) {
+                mNodes.add(new NodeInfo());
+            }
+        }
+
+        mScroller.setWidth(mWidth);
+        mPendingTicks = 0;
+        mSelectedIndex = TimeSlots.CENTER_INDEX;
+
+        //节点序号以选中的节点为0，重新初始化前先记下区间的时间
+        long rangeStartTime = TimeSlots.getUnwrappedSlotTime(mSelectedHour, mRangeStartSlot);
+        long rangeEndTime = TimeSlots.getUnwrappedSlotTime(mSelectedHour, mRangeEndSlot);
+        mSelectedHour = getSelectedHour(mSetDefaultHour);
+        if (mResetRange) {
+            mResetRange = false;
+            mRangeStartSlot = 0;
+            mRangeEndSlot = 2;
+        } else {
+            mRangeStartSlot = TimeSlots.getUnwrappedSlot(mSelectedHour, rangeStartTime);
+            mRangeEndSlot = TimeSlots.getUnwrappedSlot(mSelectedHour, rangeEndTime);
+        }
+        float selectedCy = mHeight / 2;
+
+        for (int i = 0; i < TimeSlots.NODE_COUNT; i++) {
+            float cx = mScroller.getSlotX(i);
+            long time = TimeSlots.getSlotTime(mSelectedHour, i);
+            NodeInfo node = mNodes.get(i);
+            if (TimeSlots.isHourSlot(i)) {
+                //整点
+                node.setInfo(cx, selectedCy, HOUR_NODE_RADIUS, null, TYPE_HOUR, time);
+            } else {
+                //半点
+                node.setInfo(cx, selectedCy, HALF_HOUR_NODE_RADIUS, null, TYPE_HALF_HOUR, time);
+            }
+
+            if (i == mSelectedIndex) {//selected node
+                if (mSelectedNode == null) {
+                    mSelectedNode = new NodeInfo(cx, selectedCy, SELECTED_NODE_RADIUS, null, TYPE_SELECTED, time);
+                } else {
+                    mSelectedNode.setInfo(cx, selectedCy, SELECTED_NODE_RADIUS, null, TYPE_SELECTED, time);
+                }
+            }
+        }
+
+        if (mTimeSetCallback != null) {
+            mTimeSetCallback.onTimeSet(mSelectedNode.time);
+        }
+        if (mRangeMode && mRangeSetCallback != null) {
+            mRangeSetCallback.onRangeSet(getRangeStartTime(), getRangeEndTime());
+        }
+    }
+
+    /**
+     * 初始化的时候取得默认选择的小时。
+     *
+     * @return 返回的时间以毫秒计时
+     */
+    private long getSelectedHour(boolean setDefault) {
+        if (setDefault) {
+            //设置默认的时间
+            return TimeSlots.getDefaultSelectedHour(mSelectedTimeMillis, System.currentTimeMillis());
+        } else {
+            //设置传入的时间
+            return TimeSlots.roundToHalfHour(mSelectedTimeMillis);
+        }
+    }
+
+    /**
+     * 更新所有节点
+     *
+     * @param dx
+     */
+    private void updateNodesByTouch(float dx) {
+        if (mNodes == null || mNodes.isEmpty()) {
+            return;
+        }
+
+        mPendingTicks += mScroller.scrollBy(dx);
+
+        for (int i = 0; i < mNodes.size(); i++) {
+            mNodes.get(i).cx = mScroller.getSlotX(i);
+        }
+
+        if (mSelectedNode != null) {
+            mSelectedNode.cx = mScroller.getSlotX(mSelectedIndex);
+        }
+
+        invalidate();
+    }
+
+    /**
+     * 用户点击之后重新设置已选择的节点
+     */
+    private void updateSelectedNodeByTouch() {
+        mSelectedIndex = mScroller.getSlotIndexByX(mDownX);
+        NodeInfo node = mNodes.get(mSelectedIndex);
+        mSelectedNode.cx = node.cx;
+        mSelectedNode.setTime(node.time);
+
+        invalidate();
+    }
+
+    /**
+     * 区间模式下点击时，把较近的手柄移动到点击的节点，开始手柄不会越过结束手柄
+     */
+    private void updateRangeHandleByTouch() {
+        int slot = mScroller.getUnwrappedSlotByX(mDownX);
+        if (slot < mRangeStartSlot) {
+            mRangeStartSlot = slot;
+        } else if (slot > mRangeEndSlot) {
+            mRangeEndSlot = slot;
+        } else if (slot - mRangeStartSlot <= mRangeEndSlot - slot) {
+            mRangeStartSlot = Math.min(slot, mRangeEndSlot - 1);
+        } else {
+            mRangeEndSlot = Math.max(slot, mRangeStartSlot + 1);
+        }
+
+        invalidate();
+    }
+
+    /**
+     * 判断按下的位置是否落在区间的某个手柄上：离手柄中心不超过手柄半径加上touch slop，两个都落在时取较近的
+     *
+     * @param x
+     * @return HANDLE_START, HANDLE_END 或 HANDLE_NONE
+     */
+    private int findHandleByTouch(float x) {
+        if (!mRangeMode || mNodes == null) {
+            return HANDLE_NONE;
+        }
+
+        float radius = mPainter.getSelectedRadius() + ViewConfiguration.get(mContext).getScaledTouchSlop();
+        float startDist = Math.abs(mScroller.getUnwrappedSlotX(mRangeStartSlot) - x);
+        float endDist = Math.abs(mScroller.getUnwrappedSlotX(mRangeEndSlot) - x);
+        if (endDist <= startDist) {
+            return endDist <= radius ? HANDLE_END : HANDLE_NONE;
+        }
+        return startDist <= radius ? HANDLE_START : HANDLE_NONE;
+    }
+
+    /**
+     * 拖动手柄，手柄吸附到x坐标所在的节点，不能越过另一个手柄
+     *
+     * @param x
+     */
+    private void updateRangeHandleByDrag(float x) {
+        int slot = mScroller.getUnwrappedSlotByX(x);
+        if (mDraggingHandle == HANDLE_START) {
+            slot = Math.min(slot, mRangeEndSlot - 1);
+            if (slot == mRangeStartSlot) {
+                return;
+            }
+            mPendingTicks += Math.abs(slot - mRangeStartSlot);
+            mRangeStartSlot = slot;
+        } else {
+            slot = Math.max(slot, mRangeStartSlot + 1);
+            if (slot == mRangeEndSlot) {
+                return;
+            }
+            mPendingTicks += Math.abs(slot - mRangeEndSlot);
+            mRangeEndSlot = slot;
+        }
+
+        invalidate();
+    }
+
+    /**
+     * 拖动手柄时按手指离屏幕边缘的距离取得自动滚动的速度比例，[-1, 1]，不在边缘时为0
+     *
+     * @return
+     */
+    private float getAutoScrollRatio() {
+        if (mDraggingHandle == HANDLE_NONE) {
+            return 0;
+        }
+
+        float edge = mScroller.getNodeDistance();
+        float ratio;
+        if (mDownX < edge) {
+            ratio = (edge - mDownX) / edge;
+        } else if (mDownX > mWidth - edge) {
+            ratio = -(mDownX - (mWidth - edge)) / edge;
+        } else {
+            return 0;
+        }
+        return Math.max(-1, Math.min(1, ratio));
+    }
+
+    /**
+     * 拖动手柄停在屏幕边缘时自动滚动时间线，越靠近边缘越快。
+     * 在onDraw中执行，滚动后会请求下一帧，手指离开边缘或松开时停止。
+     */
+    private void autoScrollByHandle() {
+        float ratio = getAutoScrollRatio();
+        if (ratio == 0) {
+            return;
+        }
+
+        //拖动手柄时只按手柄跨过的节点反馈，自动滚动本身不计数，避免同一帧重复计算
+        int pendingTicks = mPendingTicks;
+        updateNodesByTouch(ratio * mAutoScrollSpeed);
+        mPendingTicks = pendingTicks;
+        updateRangeHandleByDrag(mDownX);
+    }
+
+    /**
+     * 取得某个时间应该显示的预测距离。距离上一次移动事件不超过一帧时完整显示，
+     * 之后的一帧内线性减到0，手指停下时内容不会一直超前于手指。
+     *
+     * @param time 与MotionEvent.getEventTime相同的时间基准
+     * @return
+     */
+    private float getPredictionAt(long time) {
+        long age = time - mPredictedTime;
+        if (age <= mFrameInterval) {
+            return mPredictedDx;
+        }
+
+        float fade = 1 - (age - mFrameInterval) / (float) mFrameInterval;
+        return fade > 0 ? mPredictedDx * fade : 0;
+    }
+
+    /**
+     * 在onDraw中取得这一帧的预测距离，预测没有去掉前继续请求下一帧
+     *
+     * @return
+     */
+    private float updatePrediction() {
+        if (mPredictedDx == 0) {
+            return 0;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        float predictedDx = getPredictionAt(now);
+        if (predictedDx == 0) {
+            mPredictedDx = 0;
+        } else {
+            //没有新的移动事件时最多再画两帧就去掉了
+            invalidate();
+        }
+        return predictedDx;
+    }
+
+    /**
+     * 手势被取消或离开窗口时结束拖动：停止手柄的自动滚动，去掉预测的距离
+     */
+    private void cancelTouch() {
+        mTouchPredictor.reset();
+        if (mPredictedDx != 0) {
+            mPredictedDx = 0;
+            invalidate();
+        }
+        if (mDraggingHandle != HANDLE_NONE) {
+            mDraggingHandle = HANDLE_NONE;
+            notifyRangeSet();
+        }
+    }
+
+    /**
+     * 通知区间回调
+     */
+    private void notifyRangeSet() {
+        if (mRangeSetCallback != null) {
+            mRangeSetCallback.onRangeSet(getRangeStartTime(), getRangeEndTime());
+        }
+    }
+
+    /**
+     * 格式化时间为HH:mm
+     *
+     * @param time
+     * @return
+     */
+    public static final String formatTime(long time) {
+        return TimeSlots.formatTime(time);
+    }
+
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent event) {
+        getParent().requestDisallowInterceptTouchEvent(true);
+        return super.dispatchTouchEvent(event);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+
+        //转换成内容区域的坐标
+        float curX = event.getX() - getPaddingLeft();
+
+        switch (event.getAction()) {
+            case MotionEvent.ACTION_DOWN:
+                stopScroll();       //停止滑动
+                mDownX = curX;
+                mMoveDist = curX;
+                mDraggingHandle = findHandleByTouch(curX);
+                mTouchPredictor.reset();
+                mPredictedDx = 0;
+
+                //取得velocityTracker实例
+                if (mVelocityTracker == null) {
+                    mVelocityTracker = VelocityTracker.obtain();
+                } else {
+                    mVelocityTracker.clear();
+                }
+                mVelocityTracker.addMovement(event);
+                break;
+
+            case MotionEvent.ACTION_UP:
+                mMoveDist = curX - mMoveDist;
+                mTouchPredictor.reset();
+                if (mDraggingHandle != HANDLE_NONE) {
+                    //拖动手柄结束
+                    mDraggingHandle = HANDLE_NONE;
+                    notifyRangeSet();
+                } else if (Math.abs(mMoveDist) < ViewConfiguration.get(mContext).getScaledTouchSlop()) {//过滤点击不小心滑动
+                    //如果是点击操作
+                    if (mRangeMode) {
+                        updateRangeHandleByTouch();
+                        notifyRangeSet();
+                    } else {
+                        updateSelectedNodeByTouch();
+                        if (mTimeSetCallback != null) {
+                            mTimeSetCallback.onTimeSet(mSelectedNode.time);
+                        }
+                    }
+                } else {
+                    //手势滑动之后继续滚动，已经显示的预测距离交给惯性滑动，不往回跳；
+                    //手指停下后已经去掉的预测不再加上
+                    updateNodesByTouch(getPredictionAt(event.getEventTime()));
+                    mPredictedDx = 0;
+                    sliding();
+                }
+                //点击时预测的距离直接去掉
+                if (mPredictedDx != 0) {
+                    mPredictedDx = 0;
+                    invalidate();
+                }
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                if (mDraggingHandle != HANDLE_NONE) {
+                    mDownX = curX;
+                    updateRangeHandleByDrag(curX);//拖动手柄，只在屏幕边缘时自动滚动时间线
+                    if (getAutoScrollRatio() != 0) {
+                        invalidate();//手柄没有跨过节点时也要开始自动滚动
+                    }
+                    break;
+                }
+
+                mVelocityTracker.addMovement(event);
+                mVelocityTracker.computeCurrentVelocity(10, MAX_SPEED);//计算速度
+
+                final float dx = curX - mDownX;
+                mDownX = curX;
+                updateNodesByTouch(dx);//更新所有节点的位置。
+                //预测的距离只在绘制时平移画布，节点位置、点击检测和刻度反馈都按手指的实际位置
+                mPredictedDx = mTouchPredictor.predict(curX, event.getEventTime(),
+                        mVelocityTracker.getXVelocity() / 10, mFrameInterval);
+                mPredictedTime = event.getEventTime();
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                cancelTouch();
+                break;
+            default:
+                break;
+        }
+
+        return true;
+    }
+
+    /**
+     * 滑动操作后的惯性滑动。
+     * 利用animation实现
+     */
+    private void sliding() {
+        if (mAnimation == null) {
+            mAnimation = new Animation() {
+                @Override
+                protected void applyTransformation(float interpolatedTime, Transformation t) {
+                    float speed = mVelocityTracker.getXVelocity();
+                    updateNodesByTouch(FlingPhysics.getDelta(interpolatedTime, speed));
+                }
+            };
+            mAnimation.setInterpolator(new Interpolator() {
+                @Override
+                public float getInterpolation(float input) {
+                    return FlingPhysics.interpolate(input);
+                }
+            });
+        }
+
+        stopScroll();
+        mAnimation.setDuration(FlingPhysics.DURATION);
+        startAnimation(mAnimation);
+    }
+
+    /**
+     * 停止滑动
+     */
+    private void stopScroll() {
+        if (mAnimation != null && !mAnimation.hasEnded()) {
+            mAnimation.cancel();
+            clearAnimation();
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mFrameInterval = DEFAULT_FRAME_INTERVAL;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && getDisplay() != null) {
+            float refreshRate = getDisplay().getRefreshRate();
+            if (refreshRate > 0) {
+                mFrameInterval = Math.round(1000 / refreshRate);
+            }
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        cancelTouch();
+        if (mVelocityTracker != null) {
+            mVelocityTracker.clear();
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    @Override
+    public void setPadding(int left, int top, int right, int bottom) {
+        super.setPadding(left, top, right, bottom);
+        //父类构造函数中设置padding时mMeasurer还没有创建，init中会计算
+        if (mMeasurer != null) {
+            mMeasurer.requestIntrinsicSize();
+            updateContentSize(getWidth(), getHeight());
+        }
+    }
+
+    @Override
+    public void setPaddingRelative(int start, int top, int end, int bottom) {
+        super.setPaddingRelative(start, top, end, bottom);
+        if (mMeasurer != null) {
+            mMeasurer.requestIntrinsicSize();
+            updateContentSize(getWidth(), getHeight());
+        }
+    }
+
+    /**
+     * 测量结果缓存，供测试检查实际计算的次数
+     *
+     * @return
+     */
+    TimeLineMeasurer getMeasurer() {
+        return mMeasurer;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        //spec命中缓存时不做任何计算
+        mMeasurer.measure(widthMeasureSpec, heightMeasureSpec);
+        setMeasuredDimension(mMeasurer.getMeasuredWidth(), mMeasurer.getMeasuredHeight());
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateContentSize(w, h);
+    }
+
+    /**
+     * 按view的大小和padding更新内容区域的大小，改变时重新排列节点
+     *
+     * @param w view的宽度
+     * @param h view的高度
+     */
+    private void updateContentSize(int w, int h) {
+        int width = Math.max(0, w - getPaddingLeft() - getPaddingRight());
+        int height = Math.max(0, h - getPaddingTop() - getPaddingBottom());
+        if (width == mWidth && height == mHeight) {
+            return;
+        }
+
+        mWidth = width;
+        mHeight = height;
+        if (mNodes != null && !mShouldInit) {
+            //大小改变后按当前选中的时间重新排列节点，区间保持不变。
+            //已经有setDate或bindTime等待初始化时保留它们设置的时间
+            mSelectedTimeMillis = getSelectedTime();
+            mSetDefaultHour = false;
+            mShouldInit = true;
+        }
+        invalidate();
+    }
+
+    /**
+     * wrap_content时需要的宽度：相邻两个整点的时间文字不重叠，选中节点不互相覆盖
+     *
+     * @return
+     */
+    private int calcIntrinsicWidth() {
+        float nodeDistance = Math.max(mPainter.getTextWidth() / 2 + dp2px(4), 2 * mPainter.getSelectedRadius());
+        return (int) Math.ceil(nodeDistance * TimeSlots.VISIBLE_NODE_COUNT) + getPaddingLeft() + getPaddingRight();
+    }
+
+    /**
+     * wrap_content时需要的高度：节点在正中，上方留出手柄的时间文字，下方留出整点的时间文字
+     *
+     * @return
+     */
+    private int calcIntrinsicHeight() {
+        float top = 2 * mPainter.getTextHeight() + mPainter.getTextMarginTop();
+        float bottom = mPainter.getTextHeight() + mPainter.getTextMarginBottom() + mPainter.getTextDescent();
+        float half = Math.max(mPainter.getSelectedRadius(), Math.max(top, bottom));
+        return 2 * (int) Math.ceil(half) + getPaddingTop() + getPaddingBottom();
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        if (mShouldInit) {
+            mShouldInit = false;
+            //初始化所有节点，需要在onMeasure取得宽度和高度之后执行。
+            initNodes();
+        }
+
+        autoScrollByHandle();
+        mPainter.drawBackground(canvas);
+        canvas.save();
+        //节点只画在左右padding之间，上下居中于内容区域
+        canvas.clipRect(getPaddingLeft(), 0, getWidth() - getPaddingRight(), getHeight());
+        canvas.translate(getPaddingLeft() + updatePrediction(), getPaddingTop());
+        drawNodesAndTime(canvas);
+        canvas.restore();
+        dispatchSlotTick();
+    }
+
+    /**
+     * 在绘制的这一帧里反馈刻度，不额外使用Handler或定时器。
+     * 回调每帧都会收到这一帧的刻度数，不会丢失；震动和点击音距离上次不足MIN_TICK_INTERVAL时跳过，快速滑动时不会连续震动。
+     */
+    private void dispatchSlotTick() {
+        if (mPendingTicks == 0) {
+            return;
+        }
+
+        int crossedCount = mPendingTicks;
+        mPendingTicks = 0;
+        if (mSlotTickCallback != null) {
+            mSlotTickCallback.onSlotTick(crossedCount);
+        }
+
+        long now = SystemClock.uptimeMillis();
+        if (mTickFeedbackEnabled && now - mLastTickTime >= MIN_TICK_INTERVAL) {
+            mLastTickTime = now;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                performHapticFeedback(HapticFeedbackConstants.CLOCK_TICK);
+            } else {
+                performHapticFeedback(HapticFeedbackConstants.VIRTUAL_KEY);
+            }
+            playSoundEffect(SoundEffectConstants.CLICK);
+        }
+    }
+
+    /**
+     * 画节点和时间
+     *
+     * @param canvas
+     */
+    private void drawNodesAndTime(Canvas canvas) {
+        if (mNodes == null || mNodes.isEmpty()) {
+            return;
+        }
+
+        if (mRangeMode) {
+            drawRange(canvas);
+        }
+
+        for (int i = 0; i < mNodes.size(); i++) {
+            NodeInfo node = mNodes.get(i);
+            mPainter.drawNormalNode(canvas, node.cx, node.cy, node.type == TYPE_HOUR);
+            //选中节点下方的时间由选中节点画
+            if (mRangeMode || i != mSelectedIndex) {
+                mPainter.drawTimeBottom(canvas, node.cx, node.cy, node.time, false);
+            }
+        }
+
+        if (mRangeMode) {
+            drawRangeHandle(canvas, mRangeStartNode, mRangeStartSlot);
+            drawRangeHandle(canvas, mRangeEndNode, mRangeEndSlot);
+        } else if (mSelectedNode != null) {
+            mPainter.drawSelectedNode(canvas, mSelectedNode.cx, mSelectedNode.cy);
+            mPainter.drawTimeBottom(canvas, mSelectedNode.cx, mSelectedNode.cy, mSelectedNode.time, true);
+        }
+    }
+
+    /**
+     * 画区间的高亮部分，每帧只画一个矩形。
+     * 手柄用不取模的节点序号，区间在屏幕上只有一段，左右边界限制在屏幕附近。
+     *
+     * @param canvas
+     */
+    private void drawRange(Canvas canvas) {
+        mScroller.getSpanBounds(mRangeStartSlot, mRangeEndSlot, mRangeBounds);
+        if (mRangeBounds[0] >= mRangeBounds[1]) {
+            return;
+        }
+        mPainter.drawRange(canvas, mRangeBounds[0], mRangeBounds[1], mHeight / 2);
+    }
+
+    /**
+     * 画区间的手柄，时间显示在横线上方
+     *
+     * @param canvas
+     * @param handle
+     * @param slot   不取模的节点序号
+     */
+    private void drawRangeHandle(Canvas canvas, NodeInfo handle, int slot) {
+        handle.setInfo(mScroller.getUnwrappedSlotX(slot), mHeight / 2, SELECTED_NODE_RADIUS, null, TYPE_SELECTED,
+                TimeSlots.getUnwrappedSlotTime(mSelectedHour, slot));
+
+        mPainter.drawSelectedNode(canvas, handle.cx, handle.cy);
+        mPainter.drawTimeTop(canvas, handle.cx, handle.cy, handle.time);
+    }
+
+    private float dp2px(float dp) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, mContext.getResources().getDisplayMetrics());
+    }
+
+    private int px2dp(float pxValue) {
+        final float scale = mContext.getResources().getDisplayMetrics().density;
+        return (int) (pxValue / scale + 0.5f);
+    }
+
+    /**
+     * 节点信息类
+     */
+    private static class NodeInfo {
+        public float cx;
+        public float cy;
+        public float radius;
+        public RectF rect;
+        public int type;
+        public long time;
+
+        public NodeInfo() {
+
+        }
+
+        public NodeInfo(float cx, float cy, float radius, RectF rect, int type, long time) {
+            this.cx = cx;
+            this.cy = cy;
+            this.radius = radius;
+            this.rect = rect;
+            this.type = type;
+            this.time = time;
+        }
+
+        public void setInfo(float cx, float cy, float radius, RectF rect, int type, long time) {
+            this.cx = cx;
+            this.cy = cy;
+            this.radius = radius;
+            this.rect = rect;
+            this.type = type;
+            this.time = time;
+        }
+
+        public void setTime(long time) {
+            this.time = time;
+        }
+    }
+
+}
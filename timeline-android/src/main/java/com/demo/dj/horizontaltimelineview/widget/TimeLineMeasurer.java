@@ -0,0 +1,145 @@
+package com.demo.dj.horizontaltimelineview.widget;
+
+import android.view.View;
+
+/**
+ * @description 计算时间线的测量结果，并按MeasureSpec缓存。
+ * 父布局（RecyclerView，ConstraintLayout等）常用几组不同的spec反复测量，最近的几组spec都会缓存，
+ * 命中缓存时不做任何计算；内容需要的宽高只在初始化和padding改变后计算一次。
+ */
+class TimeLineMeasurer {
+    private static final int MODE_MASK = 0x3 << 30;
+
+    /**
+     * 缓存的spec组数
+     */
+    private static final int CACHE_SIZE = 4;
+
+    /**
+     * 计算内容需要的宽高的回调
+     */
+    interface IIntrinsicSizeCallback {
+        /**
+         * @return 内容需要的宽度（包含padding）
+         */
+        int calcIntrinsicWidth();
+
+        /**
+         * @return 内容需要的高度（包含padding）
+         */
+        int calcIntrinsicHeight();
+    }
+
+    private final IIntrinsicSizeCallback mCallback;
+
+    /**
+     * 内容本身需要的宽高（已包含padding），以及是否需要重新计算
+     */
+    private int mIntrinsicWidth;
+    private int mIntrinsicHeight;
+    private boolean mIntrinsicDirty = true;
+
+    /**
+     * 最近几次测量的spec和结果，满了之后按顺序覆盖最早的一组
+     */
+    private final int[] mWidthSpecs = new int[CACHE_SIZE];
+    private final int[] mHeightSpecs = new int[CACHE_SIZE];
+    private final int[] mWidths = new int[CACHE_SIZE];
+    private final int[] mHeights = new int[CACHE_SIZE];
+    private int mCacheCount;
+    private int mNextEntry;
+
+    private int mMeasuredWidth;
+    private int mMeasuredHeight;
+
+    /**
+     * 实际计算的次数，命中缓存不计数
+     */
+    private int mMeasurePassCount;
+    private int mIntrinsicCalcCount;
+
+    public TimeLineMeasurer(IIntrinsicSizeCallback callback) {
+        mCallback = callback;
+    }
+
+    /**
+     * 内容需要的宽高可能改变（如padding改变），清空缓存，下次measure时重新计算
+     */
+    public void requestIntrinsicSize() {
+        mIntrinsicDirty = true;
+        mCacheCount = 0;
+        mNextEntry = 0;
+    }
+
+    /**
+     * 根据spec测量，结果通过getMeasuredWidth和getMeasuredHeight取得
+     *
+     * @param widthMeasureSpec
+     * @param heightMeasureSpec
+     */
+    public void measure(int widthMeasureSpec, int heightMeasureSpec) {
+        for (int i = 0; i < mCacheCount; i++) {
+            if (mWidthSpecs[i] == widthMeasureSpec && mHeightSpecs[i] == heightMeasureSpec) {
+                mMeasuredWidth = mWidths[i];
+                mMeasuredHeight = mHeights[i];
+                return;
+            }
+        }
+
+        if (mIntrinsicDirty) {
+            mIntrinsicDirty = false;
+            mIntrinsicWidth = mCallback.calcIntrinsicWidth();
+            mIntrinsicHeight = mCallback.calcIntrinsicHeight();
+            mIntrinsicCalcCount++;
+        }
+
+        mMeasuredWidth = resolveSize(mIntrinsicWidth, widthMeasureSpec);
+        mMeasuredHeight = resolveSize(mIntrinsicHeight, heightMeasureSpec);
+        mMeasurePassCount++;
+
+        mWidthSpecs[mNextEntry] = widthMeasureSpec;
+        mHeightSpecs[mNextEntry] = heightMeasureSpec;
+        mWidths[mNextEntry] = mMeasuredWidth;
+        mHeights[mNextEntry] = mMeasuredHeight;
+        mNextEntry = (mNextEntry + 1) % CACHE_SIZE;
+        if (mCacheCount < CACHE_SIZE) {
+            mCacheCount++;
+        }
+    }
+
+    public int getMeasuredWidth() {
+        return mMeasuredWidth;
+    }
+
+    public int getMeasuredHeight() {
+        return mMeasuredHeight;
+    }
+
+    public int getMeasurePassCount() {
+        return mMeasurePassCount;
+    }
+
+    public int getIntrinsicCalcCount() {
+        return mIntrinsicCalcCount;
+    }
+
+    /**
+     * 同View.resolveSize，不依赖android的实现，方便在JVM上测试
+     *
+     * @param desired 需要的大小
+     * @param spec
+     * @return
+     */
+    static int resolveSize(int desired, int spec) {
+        int mode = spec & MODE_MASK;
+        int size = spec & ~MODE_MASK;
+        switch (mode) {
+            case View.MeasureSpec.EXACTLY:
+                return size;
+            case View.MeasureSpec.AT_MOST:
+                return Math.min(desired, size);
+            default:
+                return desired;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.demo.dj.horizontaltimelineview.widget;
+
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.util.TypedValue;
+
+import com.demo.dj.horizontaltimelineview.core.TimeSlots;
+
+import java.util.Calendar;
+
+/**
+ * @description 时间线各部分的画法，HorizontalTimeLineView和TimeLineRenderer共用，两者画出来的样子一致。
+ * 颜色和尺寸在构造时转换好；画笔会被修改，一个实例只能在一个线程中使用。
+ */
+class TimeLinePainter {
+    /**
+     * 整点节点外环和选中节点外环的宽度
+     */
+    private static final int HOUR_STROKE_WIDTH = 8;
+    private static final int SELECTED_STROKE_WIDTH = 5;
+
+    /**
+     * 颜色
+     */
+    private final int mYellow;
+    private final int mGray;
+    private final int mGrayText;
+    private final int mWhite;
+
+    /**
+     * 转换成px的尺寸
+     */
+    private final float mLineWidth;
+    private final float mSelectedRadius;
+    private final float mSelectedCenterRadius;
+    private final float mHourRadius;
+    private final float mHalfHourRadius;
+    private final float mTextMarginTop;
+    private final float mTextMarginBottom;
+
+    /**
+     * 画笔
+     */
+    private final Paint mNodePaint;
+    private final Paint mTextPaint;
+    /**
+     * 时间文字的高度，基线以下的高度，以及宽度
+     */
+    private final float mTextHeight;
+    private final float mTextDescent;
+    private final float mTextWidth;
+
+    private final Calendar mCalendar = Calendar.getInstance();
+    private final RectF mRangeRect = new RectF();
+
+    TimeLinePainter(Resources resources) {
+        mYellow = resources.getColor(HorizontalTimeLineView.YELLOW);
+        mGray = resources.getColor(HorizontalTimeLineView.GRAY);
+        mGrayText = resources.getColor(HorizontalTimeLineView.GRAY_TEXT);
+        mWhite = resources.getColor(HorizontalTimeLineView.WHITE);
+
+        mLineWidth = dp2px(resources, 4);
+        mSelectedRadius = dp2px(resources, HorizontalTimeLineView.SELECTED_NODE_RADIUS);
+        mSelectedCenterRadius = dp2px(resources, HorizontalTimeLineView.SELECTED_NODE_RADIUS / 4);
+        mHourRadius = dp2px(resources, HorizontalTimeLineView.HOUR_NODE_RADIUS);
+        mHalfHourRadius = dp2px(resources, HorizontalTimeLineView.HALF_HOUR_NODE_RADIUS);
+        mTextMarginTop = dp2px(resources, 3);
+        mTextMarginBottom = dp2px(resources, HorizontalTimeLineView.TEXT_MARGIN_BOTTOM);
+
+        mNodePaint = new Paint();
+        mNodePaint.setAntiAlias(true);
+
+        mTextPaint = new Paint();
+        mTextPaint.setAntiAlias(true);
+        mTextPaint.setAlpha(100);
+        mTextPaint.setTextSize(dp2px(resources, HorizontalTimeLineView.TEXT_SIZE));
+        //取得字体的高度
+        Paint.FontMetrics fontMetrics = mTextPaint.getFontMetrics();
+        mTextHeight = fontMetrics.descent - fontMetrics.ascent;
+        mTextDescent = fontMetrics.descent;
+        mTextWidth = mTextPaint.measureText(TimeSlots.getLabel(0, 0));
+    }
+
+    float getTextHeight() {
+        return mTextHeight;
+    }
+
+    float getTextDescent() {
+        return mTextDescent;
+    }
+
+    float getTextWidth() {
+        return mTextWidth;
+    }
+
+    float getTextMarginTop() {
+        return mTextMarginTop;
+    }
+
+    float getTextMarginBottom() {
+        return mTextMarginBottom;
+    }
+
+    float getSelectedRadius() {
+        return mSelectedRadius;
+    }
+
+    /**
+     * 画背景
+     *
+     * @param canvas
+     */
+    void drawBackground(Canvas canvas) {
+        canvas.drawColor(mWhite);
+    }
+
+    /**
+     * 画正常的时间节点
+     *
+     * @param canvas
+     * @param cx
+     * @param cy
+     * @param hour   是否整点
+     */
+    void drawNormalNode(Canvas canvas, float cx, float cy, boolean hour) {
+        mNodePaint.setColor(mGray);
+        if (hour) {
+            mNodePaint.setStyle(Paint.Style.STROKE);
+            mNodePaint.setStrokeWidth(HOUR_STROKE_WIDTH);
+            canvas.drawCircle(cx, cy, mHourRadius, mNodePaint);
+        } else {
+            mNodePaint.setStyle(Paint.Style.FILL_AND_STROKE);
+            canvas.drawCircle(cx, cy, mHalfHourRadius, mNodePaint);
+        }
+    }
+
+    /**
+     * 画选中的节点
+     *
+     * @param canvas
+     * @param cx
+     * @param cy
+     */
+    void drawSelectedNode(Canvas canvas, float cx, float cy) {
+        //clear
+        mNodePaint.setColor(mWhite);
+        mNodePaint.setStyle(Paint.Style.FILL_AND_STROKE);
+        canvas.drawCircle(cx, cy, mSelectedRadius, mNodePaint);
+
+        //画圆心
+        mNodePaint.setColor(mYellow);
+        canvas.drawCircle(cx, cy, mSelectedCenterRadius, mNodePaint);
+
+        //画外环
+        mNodePaint.setStyle(Paint.Style.STROKE);
+        mNodePaint.setStrokeWidth(SELECTED_STROKE_WIDTH);
+        canvas.drawCircle(cx, cy, mSelectedRadius, mNodePaint);
+    }
+
+    /**
+     * 画区间的高亮部分
+     *
+     * @param canvas
+     * @param left
+     * @param right
+     * @param cy
+     */
+    void drawRange(Canvas canvas, float left, float right, float cy) {
+        mRangeRect.set(left, cy - mLineWidth / 2, right, cy + mLineWidth / 2);
+        mNodePaint.setColor(mYellow);
+        mNodePaint.setStyle(Paint.Style.FILL);
+        canvas.drawRect(mRangeRect, mNodePaint);
+    }
+
+    /**
+     * 画时间，位于横线下方，只画整点
+     *
+     * @param canvas
+     * @param cx
+     * @param cy
+     * @param time
+     * @param selected 选中的节点用强调色
+     */
+    void drawTimeBottom(Canvas canvas, float cx, float cy, long time, boolean selected) {
+        mCalendar.setTimeInMillis(time);
+        int minute = mCalendar.get(Calendar.MINUTE);
+        if (minute != 0) {
+            return;
+        }
+
+        mTextPaint.setColor(selected ? mYellow : mGrayText);
+        canvas.drawText(TimeSlots.getLabel(mCalendar.get(Calendar.HOUR_OF_DAY), minute),
+                cx - mTextWidth / 2, cy + mTextHeight + mTextMarginBottom, mTextPaint);
+    }
+
+    /**
+     * 画时间，位于横线上方，整点和半点都画
+     *
+     * @param canvas
+     * @param cx
+     * @param cy
+     * @param time
+     */
+    void drawTimeTop(Canvas canvas, float cx, float cy, long time) {
+        mCalendar.setTimeInMillis(time);
+        mTextPaint.setColor(mYellow);
+        canvas.drawText(TimeSlots.getLabel(mCalendar.get(Calendar.HOUR_OF_DAY), mCalendar.get(Calendar.MINUTE)),
+                cx - mTextWidth / 2, cy - (mTextHeight + mTextMarginTop), mTextPaint);
+    }
+
+    private static float dp2px(Resources resources, float dp) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, resources.getDisplayMetrics());
+    }
+}
@@ -0,0 +1,147 @@
+package com.demo.dj.horizontaltimelineview.widget;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import com.demo.dj.horizontaltimelineview.core.SlotScroller;
+import com.demo.dj.horizontaltimelineview.core.TimeSlots;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * @description 不依赖View和window，把某个时间的时间线画到Bitmap或Canvas上，用于通知、分享卡片等的预览图。
+ * 和HorizontalTimeLineView未滑动时的样子一致。
+ * 和View共用TimeLinePainter的画法；画笔每个线程一份并重复使用，可以在线程池中同时画多张。
+ */
+public class TimeLineRenderer {
+    private final Resources mResources;
+
+    /**
+     * 每个线程的画笔等，避免每次绘制都创建。
+     * DrawState不引用renderer，renderer不再使用后线程中的这一份可以被回收；也可以在线程中调用release立即释放
+     */
+    private final ThreadLocal<DrawState> mDrawState = new ThreadLocal<DrawState>() {
+        @Override
+        protected DrawState initialValue() {
+            return new DrawState(mResources);
+        }
+    };
+
+    public TimeLineRenderer(Context context) {
+        mResources = context.getResources();
+    }
+
+    /**
+     * 画一张新的Bitmap
+     *
+     * @param timeMillis 选中的时间，会对齐到最近的整点或半点
+     * @param width
+     * @param height
+     * @return
+     */
+    public Bitmap render(long timeMillis, int width, int height) {
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        render(bitmap, timeMillis);
+        return bitmap;
+    }
+
+    /**
+     * 画到已有的Bitmap上，可以重复使用同一个Bitmap
+     *
+     * @param bitmap
+     * @param timeMillis
+     */
+    public void render(Bitmap bitmap, long timeMillis) {
+        DrawState state = mDrawState.get();
+        state.canvas.setBitmap(bitmap);
+        render(state.canvas, bitmap.getWidth(), bitmap.getHeight(), timeMillis);
+        state.canvas.setBitmap(null);
+    }
+
+    /**
+     * 画到Canvas的(0, 0, width, height)区域内
+     *
+     * @param canvas
+     * @param width
+     * @param height
+     * @param timeMillis
+     */
+    public void render(Canvas canvas, int width, int height, long timeMillis) {
+        DrawState state = mDrawState.get();
+        TimeLinePainter painter = state.painter;
+        state.scroller.setWidth(width);
+        long selectedHour = TimeSlots.roundToHalfHour(timeMillis);
+        float cy = height / 2;
+        float nodeDistance = state.scroller.getNodeDistance();
+
+        canvas.save();
+        canvas.clipRect(0, 0, width, height);
+        painter.drawBackground(canvas);
+
+        for (int i = 0; i < TimeSlots.NODE_COUNT; i++) {
+            float cx = state.scroller.getSlotX(i);
+            if (cx < -nodeDistance || cx > width + nodeDistance) {
+                continue;
+            }
+
+            painter.drawNormalNode(canvas, cx, cy, TimeSlots.isHourSlot(i));
+            if (i != TimeSlots.CENTER_INDEX) {
+                painter.drawTimeBottom(canvas, cx, cy, TimeSlots.getSlotTime(selectedHour, i), false);
+            }
+        }
+
+        float selectedCx = state.scroller.getSlotX(TimeSlots.CENTER_INDEX);
+        painter.drawSelectedNode(canvas, selectedCx, cy);
+        painter.drawTimeBottom(canvas, selectedCx, cy, selectedHour, true);
+        canvas.restore();
+    }
+
+    /**
+     * 释放当前线程的画笔等，需要在画过的线程中调用，如线程池的线程不再用这个renderer画图时
+     */
+    public void release() {
+        mDrawState.remove();
+    }
+
+    /**
+     * 在线程池中画多张，每个时间一张Bitmap，顺序和times一致
+     *
+     * @param times
+     * @param width
+     * @param height
+     * @param executor
+     * @return
+     */
+    public List<Future<Bitmap>> renderBatch(long[] times, final int width, final int height,
+                                            ExecutorService executor) {
+        List<Future<Bitmap>> futures = new ArrayList<>(times.length);
+        for (final long time : times) {
+            futures.add(executor.submit(new Callable<Bitmap>() {
+                @Override
+                public Bitmap call() throws Exception {
+                    return render(time, width, height);
+                }
+            }));
+        }
+        return futures;
+    }
+
+    /**
+     * 一个线程绘制时用到的对象
+     */
+    private static class DrawState {
+        final Canvas canvas = new Canvas();
+        final SlotScroller scroller = new SlotScroller();
+        final TimeLinePainter painter;
+
+        DrawState(Resources resources) {
+            painter = new TimeLinePainter(resources);
+        }
+    }
+}
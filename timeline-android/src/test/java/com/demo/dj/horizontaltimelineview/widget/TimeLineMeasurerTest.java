@@ -0,0 +1,130 @@
+package com.demo.dj.horizontaltimelineview.widget;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 测量缓存的测试
+ */
+public class TimeLineMeasurerTest {
+    private static final int INTRINSIC_WIDTH = 600;
+    private static final int INTRINSIC_HEIGHT = 200;
+
+    private FakeCallback mCallback;
+    private TimeLineMeasurer mMeasurer;
+
+    @Before
+    public void setUp() throws Exception {
+        mCallback = new FakeCallback();
+        mMeasurer = new TimeLineMeasurer(mCallback);
+    }
+
+    @Test
+    public void wrapContent_usesIntrinsicSize() throws Exception {
+        mMeasurer.measure(atMost(1080), atMost(1920));
+        assertEquals(INTRINSIC_WIDTH, mMeasurer.getMeasuredWidth());
+        assertEquals(INTRINSIC_HEIGHT, mMeasurer.getMeasuredHeight());
+    }
+
+    @Test
+    public void wrapContent_clampedToAvailableSize() throws Exception {
+        mMeasurer.measure(atMost(400), atMost(100));
+        assertEquals(400, mMeasurer.getMeasuredWidth());
+        assertEquals(100, mMeasurer.getMeasuredHeight());
+    }
+
+    @Test
+    public void exactly_usesSpecSize() throws Exception {
+        mMeasurer.measure(exactly(1080), exactly(300));
+        assertEquals(1080, mMeasurer.getMeasuredWidth());
+        assertEquals(300, mMeasurer.getMeasuredHeight());
+        assertEquals(1, mCallback.calcCount);
+    }
+
+    @Test
+    public void unspecified_usesIntrinsicSize() throws Exception {
+        mMeasurer.measure(View.MeasureSpec.UNSPECIFIED, View.MeasureSpec.UNSPECIFIED);
+        assertEquals(INTRINSIC_WIDTH, mMeasurer.getMeasuredWidth());
+        assertEquals(INTRINSIC_HEIGHT, mMeasurer.getMeasuredHeight());
+    }
+
+    @Test
+    public void layoutPassCount_repeatedSpecIsCached() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mMeasurer.measure(exactly(1080), atMost(1920));
+        }
+        assertEquals(1, mMeasurer.getMeasurePassCount());
+        assertEquals(1, mCallback.calcCount);
+    }
+
+    @Test
+    public void layoutPassCount_alternatingSpecsAreCached() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mMeasurer.measure(atMost(1080), atMost(1920));
+            assertEquals(INTRINSIC_WIDTH, mMeasurer.getMeasuredWidth());
+            mMeasurer.measure(exactly(720), atMost(1920));
+            assertEquals(720, mMeasurer.getMeasuredWidth());
+        }
+        assertEquals(2, mMeasurer.getMeasurePassCount());
+        assertEquals(1, mCallback.calcCount);
+        assertEquals(1, mMeasurer.getIntrinsicCalcCount());
+    }
+
+    @Test
+    public void layoutPassCount_oldestSpecEvicted() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mMeasurer.measure(exactly(100 + i), atMost(1920));
+        }
+        assertEquals(5, mMeasurer.getMeasurePassCount());
+
+        mMeasurer.measure(exactly(104), atMost(1920));
+        assertEquals(5, mMeasurer.getMeasurePassCount());
+        mMeasurer.measure(exactly(100), atMost(1920));
+        assertEquals(6, mMeasurer.getMeasurePassCount());
+        assertEquals(1, mCallback.calcCount);
+    }
+
+    @Test
+    public void requestIntrinsicSize_recalculatesOnce() throws Exception {
+        mMeasurer.measure(atMost(1080), atMost(1920));
+        mCallback.height = INTRINSIC_HEIGHT + 50;
+        mMeasurer.requestIntrinsicSize();
+        mMeasurer.measure(atMost(1080), atMost(1920));
+        mMeasurer.measure(exactly(720), atMost(1920));
+        assertEquals(3, mMeasurer.getMeasurePassCount());
+        assertEquals(2, mCallback.calcCount);
+        assertEquals(INTRINSIC_HEIGHT + 50, mMeasurer.getMeasuredHeight());
+    }
+
+    private static int exactly(int size) {
+        return size | View.MeasureSpec.EXACTLY;
+    }
+
+    private static int atMost(int size) {
+        return size | View.MeasureSpec.AT_MOST;
+    }
+
+    /**
+     * 记录计算次数的回调
+     */
+    private static class FakeCallback implements TimeLineMeasurer.IIntrinsicSizeCallback {
+        int width = INTRINSIC_WIDTH;
+        int height = INTRINSIC_HEIGHT;
+        int calcCount;
+
+        @Override
+        public int calcIntrinsicWidth() {
+            calcCount++;
+            return width;
+        }
+
+        @Override
+        public int calcIntrinsicHeight() {
+            return height;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.demo.dj.horizontaltimelineview.core;
+
+/**
+ * @description 手指离开后的惯性滑动：初速度取自手指离开前的速度，按减速插值曲线（同DecelerateInterpolator）在DURATION内衰减到0。
+ */
+public final class FlingPhysics {
+    /**
+     * 惯性滑动的时长（毫秒）
+     */
+    public static final long DURATION = 2000;
+
+    private FlingPhysics() {
+    }
+
+    /**
+     * 减速插值，同android的DecelerateInterpolator
+     *
+     * @param input 经过的时间比例，[0, 1]
+     * @return
+     */
+    public static float interpolate(float input) {
+        return 1.0f - (1.0f - input) * (1.0f - input);
+    }
+
+    /**
+     * 取得一帧的滑动距离
+     *
+     * @param interpolatedTime 插值后的时间比例
+     * @param velocity         手指离开时的速度
+     * @return
+     */
+    public static float getDelta(float interpolatedTime, float velocity) {
+        return (1 - interpolatedTime) * velocity;
+    }
+}
@@ -0,0 +1,174 @@
+package com.demo.dj.horizontaltimelineview.core;
+
+/**
+ * @description 时间线的滚动状态和点击检测。
+ * 节点i初始化时位于 width / 2 + (i - CENTER_INDEX) * nodeDistance，之后整体平移scrollOffset（模totalDistance），
+ * 因此节点位置和x坐标对应的节点都可以直接算出，不需要遍历。
+ * <p>
+ * 除了取模后的下标（0 ~ NODE_COUNT - 1），还可以用不取模的节点序号：0为初始化时选中的节点，
+ * 往后每半个小时加1，可以超出一天，用于跨天的区间。
+ */
+public class SlotScroller {
+    /**
+     * 时间线的宽度
+     */
+    private int mWidth;
+    /**
+     * 节点间的距离
+     */
+    private float mNodeDistance;
+    /**
+     * 所有节点合成的距离
+     */
+    private float mTotalDistance;
+    /**
+     * 累计的滑动偏移，范围[0, mTotalDistance)
+     */
+    private float mScrollOffset;
+    /**
+     * 不取模的累计滑动偏移
+     */
+    private double mScrollPosition;
+
+    /**
+     * 设置宽度，重新计算节点间的距离并回到初始位置
+     *
+     * @param width
+     */
+    public void setWidth(int width) {
+        mWidth = width;
+        mNodeDistance = width / (float) TimeSlots.VISIBLE_NODE_COUNT;
+        mTotalDistance = mNodeDistance * TimeSlots.NODE_COUNT;
+        reset();
+    }
+
+    /**
+     * 回到初始位置
+     */
+    public void reset() {
+        mScrollOffset = 0;
+        mScrollPosition = 0;
+    }
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public float getNodeDistance() {
+        return mNodeDistance;
+    }
+
+    public float getTotalDistance() {
+        return mTotalDistance;
+    }
+
+    public float getScrollOffset() {
+        return mScrollOffset;
+    }
+
+    /**
+     * 平移所有节点
+     *
+     * @param dx
+     * @return 这次平移中最靠近中心的节点改变的次数（刻度数）
+     */
+    public int scrollBy(float dx) {
+        if (mTotalDistance <= 0) {
+            return 0;
+        }
+
+        //偏移为k * mNodeDistance时节点正好在中心。刻度取在两个节点的中点：偏移跨过(k + 0.5) * mNodeDistance时
+        //最靠近中心的节点变成下一个，像旋钮的档位一样在这时反馈。由偏移的变化直接算出跨过的中点个数
+        float offset = mScrollOffset + dx;
+        int crossed = (int) Math.abs(Math.floor(offset / mNodeDistance + 0.5f)
+                - Math.floor(mScrollOffset / mNodeDistance + 0.5f));
+
+        mScrollPosition += dx;
+        mScrollOffset = offset % mTotalDistance;
+        if (mScrollOffset < 0) {
+            mScrollOffset += mTotalDistance;
+        }
+        return crossed;
+    }
+
+    /**
+     * 由x坐标直接算出离它最近的节点的下标
+     *
+     * @param x
+     * @return
+     */
+    public int getSlotIndexByX(float x) {
+        if (mNodeDistance <= 0) {
+            return TimeSlots.CENTER_INDEX;
+        }
+
+        int index = Math.round((x - mWidth / 2 - mScrollOffset) / mNodeDistance) + TimeSlots.CENTER_INDEX;
+        index %= TimeSlots.NODE_COUNT;
+        if (index < 0) {
+            index += TimeSlots.NODE_COUNT;
+        }
+        return index;
+    }
+
+    /**
+     * 取得节点当前的x坐标，范围[-2 * mNodeDistance, mTotalDistance - 2 * mNodeDistance)，
+     * 屏幕左侧留出两个节点，滑出左边的节点从右边出现。
+     *
+     * @param index
+     * @return
+     */
+    public float getSlotX(int index) {
+        float x = mWidth / 2 + (index - TimeSlots.CENTER_INDEX) * mNodeDistance + mScrollOffset;
+        if (mTotalDistance <= 0) {
+            return x;
+        }
+
+        float left = -2 * mNodeDistance;
+        x = (x - left) % mTotalDistance;
+        if (x < 0) {
+            x += mTotalDistance;
+        }
+        return x + left;
+    }
+
+    /**
+     * 由x坐标直接算出离它最近的节点序号（不取模）
+     *
+     * @param x
+     * @return
+     */
+    public int getUnwrappedSlotByX(float x) {
+        if (mNodeDistance <= 0) {
+            return 0;
+        }
+
+        return (int) Math.round((x - mWidth / 2 - mScrollPosition) / mNodeDistance);
+    }
+
+    /**
+     * 取得节点序号（不取模）当前的x坐标，不在屏幕内时可能远远超出屏幕
+     *
+     * @param slot
+     * @return
+     */
+    public float getUnwrappedSlotX(int slot) {
+        return (float) (mWidth / 2 + slot * (double) mNodeDistance + mScrollPosition);
+    }
+
+    /**
+     * 取得从startSlot到endSlot的区间在屏幕上的左右边界，限制在屏幕左右各多出一个节点的范围内，
+     * 区间再长也只需要画一个矩形。
+     *
+     * @param startSlot 开始的节点序号（不取模）
+     * @param endSlot   结束的节点序号（不取模）
+     * @param out       out[0]为左边界，out[1]为右边界；区间不在屏幕内时两者相等
+     */
+    public void getSpanBounds(int startSlot, int endSlot, float[] out) {
+        float min = -mNodeDistance;
+        float max = mWidth + mNodeDistance;
+        float left = Math.max(min, Math.min(max, getUnwrappedSlotX(Math.min(startSlot, endSlot))));
+        float right = Math.max(min, Math.min(max, getUnwrappedSlotX(Math.max(startSlot, endSlot))));
+        out[0] = left;
+        out[1] = right;
+    }
+}
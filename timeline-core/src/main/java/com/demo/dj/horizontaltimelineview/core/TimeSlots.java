@@ -0,0 +1,190 @@
+package com.demo.dj.horizontaltimelineview.core;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+
+/**
+ * @description 时间节点相关的计算，不依赖android，可以在JVM上使用。
+ * 时间线由NODE_COUNT个节点组成，相邻节点相差半个小时，初始化时下标为CENTER_INDEX的节点是选中的节点。
+ */
+public final class TimeSlots {
+    /**
+     * 半个小时的毫秒数
+     */
+    public static final int HALF_HOUR = 1800 * 1000;
+
+    /**
+     * 节点个数，以及初始化时选中节点的下标
+     */
+    public static final int NODE_COUNT = 48;
+    public static final int CENTER_INDEX = 23;
+
+    /**
+     * 一屏显示的节点间隔数
+     */
+    public static final int VISIBLE_NODE_COUNT = 11;
+
+    /**
+     * 一天中整点和半点的个数
+     */
+    public static final int LABEL_COUNT = 24 * 2;
+
+    /**
+     * 一天中每个整点和半点的时间文字，下标为 小时 * 2 + (分钟 >= 30 ? 1 : 0)，绘制时不用再格式化
+     */
+    private static final String[] LABELS = new String[LABEL_COUNT];
+
+    static {
+        for (int i = 0; i < LABELS.length; i++) {
+            int hour = i / 2;
+            LABELS[i] = (hour < 10 ? "0" : "") + hour + (i % 2 == 0 ? ":00" : ":30");
+        }
+    }
+
+    private TimeSlots() {
+    }
+
+    /**
+     * 取得默认选择的小时：选择的是今天则根据当前时间，否则为那天的12点。
+     *
+     * @param selectedTimeMillis 选择的日期，0表示没有选择
+     * @param now                当前时间
+     * @return 返回的时间以毫秒计时
+     */
+    public static long getDefaultSelectedHour(long selectedTimeMillis, long now) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        int curDay = calendar.get(Calendar.DAY_OF_YEAR);
+        int choseDay = curDay;
+        if (selectedTimeMillis != 0) {
+            calendar.setTimeInMillis(selectedTimeMillis);
+            choseDay = calendar.get(Calendar.DAY_OF_YEAR);
+        }
+
+        if (choseDay != curDay) {
+            calendar.set(Calendar.HOUR_OF_DAY, 12);
+            calendar.set(Calendar.MINUTE, 0);
+            return calendar.getTimeInMillis();
+        } else {
+            return getHourBeforeNow(now);
+        }
+    }
+
+    /**
+     * 根据当前时间选择默认的时间
+     *
+     * @param now 当前时间
+     * @return 返回的时间以毫秒计时
+     */
+    public static long getHourBeforeNow(long now) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now - 2 * 3600 * 1000);//往前推两个小时
+
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.add(Calendar.HOUR_OF_DAY, 1);
+
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * 把时间对齐到最近的整点或半点
+     *
+     * @param time
+     * @return 返回的时间以毫秒计时
+     */
+    public static long roundToHalfHour(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+
+        int minute = calendar.get(Calendar.MINUTE);
+        if (minute > 15 && minute <= 45) {
+            calendar.set(Calendar.MINUTE, 30);
+        } else if (minute > 45) {
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.add(Calendar.HOUR_OF_DAY, 1);
+        } else {
+            calendar.set(Calendar.MINUTE, 0);
+        }
+
+        return calendar.getTimeInMillis();
+    }
+
+    /**
+     * 取得节点的时间
+     *
+     * @param selectedHour 选中节点（下标CENTER_INDEX）的时间
+     * @param index        节点下标
+     * @return
+     */
+    public static long getSlotTime(long selectedHour, int index) {
+        return selectedHour + (index - CENTER_INDEX) * (long) HALF_HOUR;
+    }
+
+    /**
+     * 节点下标对应的是否是整点节点
+     *
+     * @param index
+     * @return
+     */
+    public static boolean isHourSlot(int index) {
+        return (index - CENTER_INDEX) % 2 == 0;
+    }
+
+    /**
+     * 通过节点的时间判断节点是否是整点
+     *
+     * @param time
+     * @return
+     */
+    public static boolean isHourTime(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        return calendar.get(Calendar.MINUTE) == 0;
+    }
+
+    /**
+     * 取得不取模的节点序号的时间
+     *
+     * @param selectedHour 选中节点（序号0）的时间
+     * @param slot         节点序号，可以超出一天
+     * @return
+     */
+    public static long getUnwrappedSlotTime(long selectedHour, int slot) {
+        return selectedHour + slot * (long) HALF_HOUR;
+    }
+
+    /**
+     * 取得离时间最近的节点序号（不取模）
+     *
+     * @param selectedHour 选中节点（序号0）的时间
+     * @param time
+     * @return
+     */
+    public static int getUnwrappedSlot(long selectedHour, long time) {
+        return (int) Math.round((time - selectedHour) / (double) HALF_HOUR);
+    }
+
+    /**
+     * 取得整点或半点的时间文字HH:mm，分钟不足30的算作整点
+     *
+     * @param hourOfDay 0 ~ 23
+     * @param minute    0 ~ 59
+     * @return
+     */
+    public static String getLabel(int hourOfDay, int minute) {
+        return LABELS[hourOfDay * 2 + (minute >= 30 ? 1 : 0)];
+    }
+
+    /**
+     * 格式化时间为HH:mm
+     *
+     * @param time
+     * @return
+     */
+    public static String formatTime(long time) {
+        SimpleDateFormat format = new SimpleDateFormat("HH:mm");
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        return format.format(calendar.getTime());
+    }
+}
@@ -0,0 +1,139 @@
+package com.demo.dj.horizontaltimelineview.core;
+
+/**
+ * @description 拖动时的位置预测：按手指当前的速度把位置外推到下一次vsync，减少内容跟不上手指的感觉。
+ * 下一个事件到达时用真实位置修正，并统计预测的误差。
+ * 关闭预测时仍然统计误差（只是不使用预测的结果），方便在不同设备上先评估再开启。
+ */
+public class TouchPredictor {
+    /**
+     * 是否使用预测的结果
+     */
+    private boolean mEnabled;
+    /**
+     * 预测距离的上限（px），0表示不限制
+     */
+    private float mMaxPrediction;
+
+    /**
+     * 上一个事件
+     */
+    private boolean mHasLastEvent;
+    private float mLastEventX;
+    private long mLastEventTime;
+
+    /**
+     * 等待评估的预测：预测手指在mTargetTime时位于mPredictedX
+     */
+    private boolean mPending;
+    private long mTargetTime;
+    private float mPredictedX;
+
+    /**
+     * 误差统计
+     */
+    private int mSampleCount;
+    private float mTotalError;
+    private float mMaxError;
+
+    public void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    public void setMaxPrediction(float maxPrediction) {
+        mMaxPrediction = maxPrediction;
+    }
+
+    public float getMaxPrediction() {
+        return mMaxPrediction;
+    }
+
+    /**
+     * 一次拖动结束，丢弃等待评估的预测，不清除误差统计
+     */
+    public void reset() {
+        mHasLastEvent = false;
+        mPending = false;
+    }
+
+    /**
+     * 处理一个事件，返回应该叠加在真实位置上的预测距离
+     *
+     * @param x         事件的位置
+     * @param eventTime 事件的时间（毫秒）
+     * @param velocity  当前速度（px/ms）
+     * @param leadTime  事件到下一次vsync的时间（毫秒）
+     * @return 预测距离，关闭预测时为0
+     */
+    public float predict(float x, long eventTime, float velocity, long leadTime) {
+        if (mPending && mHasLastEvent && eventTime >= mTargetTime && eventTime > mLastEventTime) {
+            //用前后两个事件插值出目标时间的真实位置
+            float actualX = mLastEventX
+                    + (x - mLastEventX) * (mTargetTime - mLastEventTime) / (float) (eventTime - mLastEventTime);
+            recordError(Math.abs(mPredictedX - actualX));
+            mPending = false;
+        }
+
+        float offset = velocity * leadTime;
+        if (mMaxPrediction > 0) {
+            offset = Math.max(-mMaxPrediction, Math.min(mMaxPrediction, offset));
+        }
+
+        if (!mPending) {
+            mPending = true;
+            mTargetTime = eventTime + leadTime;
+            mPredictedX = x + offset;
+        }
+        mHasLastEvent = true;
+        mLastEventX = x;
+        mLastEventTime = eventTime;
+
+        return mEnabled ? offset : 0;
+    }
+
+    private void recordError(float error) {
+        mSampleCount++;
+        mTotalError += error;
+        mMaxError = Math.max(mMaxError, error);
+    }
+
+    /**
+     * 已评估的预测次数
+     *
+     * @return
+     */
+    public int getSampleCount() {
+        return mSampleCount;
+    }
+
+    /**
+     * 平均误差（px）
+     *
+     * @return
+     */
+    public float getMeanError() {
+        return mSampleCount == 0 ? 0 : mTotalError / mSampleCount;
+    }
+
+    /**
+     * 最大误差（px）
+     *
+     * @return
+     */
+    public float getMaxError() {
+        return mMaxError;
+    }
+
+    /**
+     * 清除误差统计
+     */
+    public void resetMetrics() {
+        mSampleCount = 0;
+        mTotalError = 0;
+        mMaxError = 0;
+    }
+}
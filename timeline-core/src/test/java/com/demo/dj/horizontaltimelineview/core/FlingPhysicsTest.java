@@ -0,0 +1,26 @@
+package com.demo.dj.horizontaltimelineview.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 惯性滑动的测试
+ */
+public class FlingPhysicsTest {
+    private static final float DELTA = 0.0001f;
+
+    @Test
+    public void interpolate_decelerates() throws Exception {
+        assertEquals(0f, FlingPhysics.interpolate(0f), DELTA);
+        assertEquals(0.75f, FlingPhysics.interpolate(0.5f), DELTA);
+        assertEquals(1f, FlingPhysics.interpolate(1f), DELTA);
+    }
+
+    @Test
+    public void delta_decaysToZero() throws Exception {
+        assertEquals(20f, FlingPhysics.getDelta(0f, 20f), DELTA);
+        assertEquals(-5f, FlingPhysics.getDelta(0.75f, -20f), DELTA);
+        assertEquals(0f, FlingPhysics.getDelta(1f, 20f), DELTA);
+    }
+}
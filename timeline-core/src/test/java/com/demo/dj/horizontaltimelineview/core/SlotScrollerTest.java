@@ -0,0 +1,116 @@
+package com.demo.dj.horizontaltimelineview.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 滚动状态和点击检测的测试
+ */
+public class SlotScrollerTest {
+    private static final int WIDTH = 1100;
+    private static final float DELTA = 0.01f;
+
+    private SlotScroller mScroller;
+
+    @Before
+    public void setUp() throws Exception {
+        mScroller = new SlotScroller();
+        mScroller.setWidth(WIDTH);
+    }
+
+    @Test
+    public void setWidth_calcNodeDistance() throws Exception {
+        assertEquals(100f, mScroller.getNodeDistance(), DELTA);
+        assertEquals(4800f, mScroller.getTotalDistance(), DELTA);
+        assertEquals(WIDTH / 2, mScroller.getSlotX(TimeSlots.CENTER_INDEX), DELTA);
+    }
+
+    @Test
+    public void slotIndexByX_nearestSlot() throws Exception {
+        assertEquals(TimeSlots.CENTER_INDEX, mScroller.getSlotIndexByX(WIDTH / 2 + 49));
+        assertEquals(TimeSlots.CENTER_INDEX + 1, mScroller.getSlotIndexByX(WIDTH / 2 + 51));
+        assertEquals(TimeSlots.CENTER_INDEX - 1, mScroller.getSlotIndexByX(WIDTH / 2 - 51));
+    }
+
+    @Test
+    public void slotIndexByX_wrapsAround() throws Exception {
+        mScroller.scrollBy(-TimeSlots.CENTER_INDEX * 100 - 100);
+        assertEquals(TimeSlots.NODE_COUNT - 1, mScroller.getSlotIndexByX(WIDTH / 2));
+        assertEquals(WIDTH / 2, mScroller.getSlotX(TimeSlots.NODE_COUNT - 1), DELTA);
+    }
+
+    @Test
+    public void scrollBy_countsCrossedSlots() throws Exception {
+        assertEquals(0, mScroller.scrollBy(49));
+        assertEquals(1, mScroller.scrollBy(2));
+        assertEquals(1, mScroller.scrollBy(-2));
+        assertEquals(3, mScroller.scrollBy(300));
+        assertEquals(TimeSlots.NODE_COUNT, mScroller.scrollBy(-mScroller.getTotalDistance()));
+    }
+
+    @Test
+    public void unwrappedSlot_notWrappedAfterFullLoop() throws Exception {
+        mScroller.scrollBy(-mScroller.getTotalDistance() - 300);
+        assertEquals(TimeSlots.NODE_COUNT + 3, mScroller.getUnwrappedSlotByX(WIDTH / 2));
+        assertEquals(WIDTH / 2, mScroller.getUnwrappedSlotX(TimeSlots.NODE_COUNT + 3), DELTA);
+        assertEquals((TimeSlots.NODE_COUNT + 3 + TimeSlots.CENTER_INDEX) % TimeSlots.NODE_COUNT,
+                mScroller.getSlotIndexByX(WIDTH / 2));
+    }
+
+    @Test
+    public void spanBounds_startOnScreenLongSpan() throws Exception {
+        //开始手柄在x=850，区间长度超过totalDistance - width，右边要一直画到屏幕外
+        float[] bounds = new float[2];
+        mScroller.getSpanBounds(3, 3 + TimeSlots.NODE_COUNT - 1, bounds);
+        assertEquals(850f, bounds[0], DELTA);
+        assertEquals(WIDTH + mScroller.getNodeDistance(), bounds[1], DELTA);
+    }
+
+    @Test
+    public void spanBounds_coversViewportWhenBothEndsOffScreen() throws Exception {
+        float[] bounds = new float[2];
+        mScroller.getSpanBounds(-100, 200, bounds);
+        assertEquals(-mScroller.getNodeDistance(), bounds[0], DELTA);
+        assertEquals(WIDTH + mScroller.getNodeDistance(), bounds[1], DELTA);
+    }
+
+    @Test
+    public void spanBounds_emptyUntilScrolledIntoView() throws Exception {
+        float[] bounds = new float[2];
+        mScroller.getSpanBounds(20, 30, bounds);
+        assertEquals(bounds[0], bounds[1], DELTA);
+
+        mScroller.scrollBy(-2000);
+        mScroller.getSpanBounds(20, 30, bounds);
+        assertEquals(WIDTH / 2, bounds[0], DELTA);
+        assertEquals(WIDTH + mScroller.getNodeDistance(), bounds[1], DELTA);
+    }
+
+    @Test
+    public void randomScroll_slotPositionsAndHitTestAgree() throws Exception {
+        Random random = new Random(42);
+        int centerSlot = 0;
+        for (int n = 0; n < 1000; n++) {
+            float dx = (random.nextFloat() - 0.5f) * 600;
+            int crossed = mScroller.scrollBy(dx);
+
+            int newCenterSlot = mScroller.getUnwrappedSlotByX(WIDTH / 2);
+            assertEquals(Math.abs(newCenterSlot - centerSlot), crossed);
+            centerSlot = newCenterSlot;
+
+            for (int i = 0; i < TimeSlots.NODE_COUNT; i++) {
+                float x = mScroller.getSlotX(i);
+                assertTrue(x >= -2 * mScroller.getNodeDistance());
+                assertTrue(x < mScroller.getTotalDistance() - 2 * mScroller.getNodeDistance());
+                assertEquals(i, mScroller.getSlotIndexByX(x));
+            }
+
+            int slot = (int) (random.nextFloat() * 400) - 200;
+            assertEquals(slot, mScroller.getUnwrappedSlotByX(mScroller.getUnwrappedSlotX(slot)));
+        }
+    }
+}
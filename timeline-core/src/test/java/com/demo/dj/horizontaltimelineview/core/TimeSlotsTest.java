@@ -0,0 +1,91 @@
+package com.demo.dj.horizontaltimelineview.core;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * 时间节点计算的测试
+ */
+public class TimeSlotsTest {
+
+    @Test
+    public void roundToHalfHour_roundsToNearestSlot() throws Exception {
+        assertEquals(time(10, 0), TimeSlots.roundToHalfHour(time(10, 15)));
+        assertEquals(time(10, 30), TimeSlots.roundToHalfHour(time(10, 16)));
+        assertEquals(time(10, 30), TimeSlots.roundToHalfHour(time(10, 45)));
+        assertEquals(time(11, 0), TimeSlots.roundToHalfHour(time(10, 46)));
+    }
+
+    @Test
+    public void defaultSelectedHour_otherDayIsNoon() throws Exception {
+        long now = time(9, 20);
+        long tomorrow = now + 24 * 3600 * 1000L;
+        assertEquals(time(12, 0) + 24 * 3600 * 1000L, TimeSlots.getDefaultSelectedHour(tomorrow, now));
+    }
+
+    @Test
+    public void defaultSelectedHour_todayIsHourBeforeNow() throws Exception {
+        long now = time(9, 20);
+        assertEquals(time(8, 20) - 20 * 60 * 1000L, TimeSlots.getDefaultSelectedHour(0, now));
+        assertEquals(TimeSlots.getHourBeforeNow(now), TimeSlots.getDefaultSelectedHour(now, now));
+    }
+
+    @Test
+    public void slotTime_isHalfHourApart() throws Exception {
+        long selectedHour = time(12, 0);
+        assertEquals(selectedHour, TimeSlots.getSlotTime(selectedHour, TimeSlots.CENTER_INDEX));
+        assertEquals(selectedHour - TimeSlots.HALF_HOUR, TimeSlots.getSlotTime(selectedHour, TimeSlots.CENTER_INDEX - 1));
+        assertEquals(selectedHour + 24 * TimeSlots.HALF_HOUR, TimeSlots.getSlotTime(selectedHour, TimeSlots.NODE_COUNT - 1));
+    }
+
+    @Test
+    public void hourSlot_matchesSlotTime() throws Exception {
+        long selectedHour = time(12, 0);
+        for (int i = 0; i < TimeSlots.NODE_COUNT; i++) {
+            assertEquals(TimeSlots.isHourTime(TimeSlots.getSlotTime(selectedHour, i)), TimeSlots.isHourSlot(i));
+        }
+    }
+
+    @Test
+    public void unwrappedSlot_spansDays() throws Exception {
+        long selectedHour = time(12, 0);
+        long threeDaysLater = selectedHour + 3 * 24 * 3600 * 1000L;
+        assertEquals(3 * TimeSlots.NODE_COUNT, TimeSlots.getUnwrappedSlot(selectedHour, threeDaysLater));
+        assertEquals(-1, TimeSlots.getUnwrappedSlot(selectedHour, selectedHour - TimeSlots.HALF_HOUR));
+        assertEquals(threeDaysLater, TimeSlots.getUnwrappedSlotTime(selectedHour, 3 * TimeSlots.NODE_COUNT));
+        assertEquals(TimeSlots.getSlotTime(selectedHour, TimeSlots.CENTER_INDEX + 5),
+                TimeSlots.getUnwrappedSlotTime(selectedHour, 5));
+    }
+
+    @Test
+    public void formatTime_isHourAndMinute() throws Exception {
+        assertEquals("08:30", TimeSlots.formatTime(time(8, 30)));
+    }
+
+    @Test
+    public void label_coversEveryHalfHourOfDay() throws Exception {
+        assertEquals(24 * 2, TimeSlots.LABEL_COUNT);
+        assertEquals("00:00", TimeSlots.getLabel(0, 0));
+        assertEquals("09:30", TimeSlots.getLabel(9, 30));
+        assertEquals("23:30", TimeSlots.getLabel(23, 59));
+    }
+
+    @Test
+    public void label_matchesFormatTime() throws Exception {
+        for (int hour = 0; hour < 24; hour++) {
+            assertEquals(TimeSlots.formatTime(time(hour, 0)), TimeSlots.getLabel(hour, 0));
+            assertEquals(TimeSlots.formatTime(time(hour, 30)), TimeSlots.getLabel(hour, 30));
+            assertEquals(TimeSlots.getLabel(hour, 0), TimeSlots.getLabel(hour, 29));
+        }
+    }
+
+    private static long time(int hour, int minute) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2016, Calendar.MARCH, 15, hour, minute, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+}
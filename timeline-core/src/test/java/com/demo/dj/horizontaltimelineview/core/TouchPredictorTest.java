@@ -0,0 +1,84 @@
+package com.demo.dj.horizontaltimelineview.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 拖动位置预测的测试
+ */
+public class TouchPredictorTest {
+    private static final float DELTA = 0.001f;
+
+    private TouchPredictor mPredictor;
+
+    @Before
+    public void setUp() throws Exception {
+        mPredictor = new TouchPredictor();
+        mPredictor.setEnabled(true);
+    }
+
+    @Test
+    public void predict_extrapolatesByVelocity() throws Exception {
+        assertEquals(16f, mPredictor.predict(100, 0, 2f, 8), DELTA);
+        assertEquals(-16f, mPredictor.predict(100, 8, -2f, 8), DELTA);
+    }
+
+    @Test
+    public void predict_clampedToMaxPrediction() throws Exception {
+        mPredictor.setMaxPrediction(10);
+        assertEquals(10f, mPredictor.predict(100, 0, 2f, 8), DELTA);
+        assertEquals(-10f, mPredictor.predict(100, 8, -2f, 8), DELTA);
+    }
+
+    @Test
+    public void disabled_returnsZeroButStillMeasures() throws Exception {
+        mPredictor.setEnabled(false);
+        assertEquals(0f, mPredictor.predict(100, 0, 1f, 8), DELTA);
+        assertEquals(0f, mPredictor.predict(108, 8, 1f, 8), DELTA);
+        assertEquals(1, mPredictor.getSampleCount());
+        assertEquals(0f, mPredictor.getMeanError(), DELTA);
+    }
+
+    @Test
+    public void constantVelocity_noError() throws Exception {
+        for (int i = 0; i <= 10; i++) {
+            mPredictor.predict(100 + i * 8, i * 8, 1f, 8);
+        }
+        assertEquals(10, mPredictor.getSampleCount());
+        assertEquals(0f, mPredictor.getMaxError(), DELTA);
+    }
+
+    @Test
+    public void suddenStop_recordsError() throws Exception {
+        mPredictor.predict(100, 0, 2f, 8);
+        mPredictor.predict(100, 8, 0f, 8);
+        assertEquals(1, mPredictor.getSampleCount());
+        assertEquals(16f, mPredictor.getMeanError(), DELTA);
+        assertEquals(16f, mPredictor.getMaxError(), DELTA);
+
+        mPredictor.resetMetrics();
+        assertEquals(0, mPredictor.getSampleCount());
+        assertEquals(0f, mPredictor.getMaxError(), DELTA);
+    }
+
+    @Test
+    public void eventsFasterThanLead_interpolateActualPosition() throws Exception {
+        mPredictor.predict(0, 0, 1f, 16);
+        mPredictor.predict(8, 8, 1f, 16);
+        assertEquals(0, mPredictor.getSampleCount());
+
+        mPredictor.predict(24, 24, 1f, 16);
+        assertEquals(1, mPredictor.getSampleCount());
+        assertEquals(0f, mPredictor.getMeanError(), DELTA);
+    }
+
+    @Test
+    public void reset_dropsPendingPrediction() throws Exception {
+        mPredictor.predict(100, 0, 2f, 8);
+        mPredictor.reset();
+        mPredictor.predict(500, 100, 0f, 8);
+        assertEquals(0, mPredictor.getSampleCount());
+    }
+}